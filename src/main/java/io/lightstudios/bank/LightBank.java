@@ -3,7 +3,14 @@ package io.lightstudios.bank;
 import io.lightstudios.bank.api.LightBankAPI;
 import io.lightstudios.bank.configs.MessageConfig;
 import io.lightstudios.bank.configs.SettingsConfig;
+import io.lightstudios.bank.listeners.PlayerConnectionListener;
 import io.lightstudios.bank.storage.BankDataTable;
+import io.lightstudios.bank.storage.NameCache;
+import io.lightstudios.bank.storage.VaultDataTable;
+import io.lightstudios.bank.synchronisation.BankReconciliation;
+import io.lightstudios.bank.synchronisation.RedisAccountSubscriber;
+import io.lightstudios.bank.synchronisation.TransactionVault;
+import io.lightstudios.core.LightCore;
 import io.lightstudios.core.util.ConsolePrinter;
 import io.lightstudios.core.util.files.FileManager;
 import lombok.Getter;
@@ -17,6 +24,11 @@ public final class LightBank extends JavaPlugin {
     private ConsolePrinter consolePrinter;
 
     private BankDataTable bankAccountTable;
+    private VaultDataTable vaultDataTable;
+    private NameCache nameCache;
+    private TransactionVault transactionVault;
+    private BankReconciliation bankReconciliation;
+    private RedisAccountSubscriber redisAccountSubscriber;
 
     private MessageConfig messageConfig;
     private SettingsConfig settingsConfig;
@@ -37,17 +49,42 @@ public final class LightBank extends JavaPlugin {
         selectLanguage();
 
         this.bankAccountTable = new BankDataTable();
+        this.vaultDataTable = new VaultDataTable();
+        this.nameCache = new NameCache(settingsConfig.nameCacheMaxSize(),
+                settingsConfig.nameCacheExpireAfter() * 1000L);
+
+        this.transactionVault = new TransactionVault();
+        this.transactionVault.setDelay(settingsConfig.syncDelay());
+        this.transactionVault.setPeriod(settingsConfig.syncPeriod());
+        this.transactionVault.startTransactions();
 
     }
 
     @Override
     public void onEnable() {
         // Plugin startup logic
+        registerEvents();
+        startReconciliation();
+
+        if(LightCore.instance.isRedis) {
+            this.redisAccountSubscriber = new RedisAccountSubscriber();
+            this.redisAccountSubscriber.start();
+        }
     }
 
     @Override
     public void onDisable() {
         // Plugin shutdown logic
+        if(this.redisAccountSubscriber != null) {
+            this.redisAccountSubscriber.shutdown();
+        }
+        if(this.bankReconciliation != null) {
+            this.bankReconciliation.shutdown();
+        }
+        if(this.transactionVault != null) {
+            this.consolePrinter.printInfo("Writing unsaved vault pages ...");
+            this.transactionVault.shutdown();
+        }
     }
 
     public void loadDefaults() {
@@ -56,7 +93,21 @@ public final class LightBank extends JavaPlugin {
     }
 
     private void registerEvents() {
+        getServer().getPluginManager().registerEvents(new PlayerConnectionListener(), this);
+    }
+
+    private void startReconciliation() {
+        if(!LightCore.instance.getSettings().multiServerEnabled() || !settingsConfig.enableReconciliation()) {
+            return;
+        }
 
+        this.consolePrinter.printInfo("Starting bank balance reconciliation ...");
+        this.bankReconciliation = new BankReconciliation();
+        this.bankReconciliation.setDelay(settingsConfig.reconciliationDelay());
+        this.bankReconciliation.setPeriod(settingsConfig.reconciliationPeriod());
+        this.bankReconciliation.setChunkSize(settingsConfig.reconciliationChunkSize());
+        this.bankReconciliation.setMaxRowsPerRun(settingsConfig.reconciliationMaxRowsPerRun());
+        this.bankReconciliation.startReconciliation();
     }
 
     private void registerCommands() {
@@ -1,10 +1,97 @@
 package io.lightstudios.bank.api;
 
+import io.lightstudios.bank.LightBank;
+import io.lightstudios.bank.api.models.BankData;
+import io.lightstudios.bank.api.models.VaultData;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class LightBankAPI {
 
+    private final Map<UUID, BankData> bankAccounts = new ConcurrentHashMap<>();
+    private final Map<UUID, VaultData> vaults = new ConcurrentHashMap<>();
 
     public LightBankAPI() {
 
     }
 
+    /**
+     * Get the cached bank account of an online player.
+     * @param uuid The uuid of the player.
+     * @return The cached account or null if the account is not cached.
+     */
+    public BankData getBankAccount(UUID uuid) {
+        return bankAccounts.get(uuid);
+    }
+
+    /**
+     * Get all cached bank accounts. The returned map is a read-only live view.
+     * @return The cached accounts by uuid.
+     */
+    public Map<UUID, BankData> getBankAccounts() {
+        return Collections.unmodifiableMap(bankAccounts);
+    }
+
+    public void cacheBankAccount(BankData bankData) {
+        bankAccounts.put(bankData.getUuid(), bankData);
+    }
+
+    public void uncacheBankAccount(UUID uuid) {
+        bankAccounts.remove(uuid);
+    }
+
+    /**
+     * Resolves the uuid of a (possibly offline) player by name.
+     * Cached names are returned directly, otherwise the name index is used.
+     * @param name The name of the player (case-insensitive).
+     * @return The uuid of the player or null if no account with this name exists.
+     */
+    public CompletableFuture<UUID> findUUIDByName(String name) {
+        UUID cached = LightBank.instance.getNameCache().getUUID(name);
+        if(cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return LightBank.instance.getBankAccountTable().findUUIDByName(name).thenApply(uuid -> {
+            if(uuid != null) {
+                LightBank.instance.getNameCache().put(uuid, name);
+            }
+            return uuid;
+        });
+    }
+
+    /**
+     * Get the names of all accounts starting with the given prefix, e.g. for tab completion.
+     * @param prefix The prefix of the name (case-insensitive).
+     * @param limit The maximum amount of names.
+     * @return The matching names.
+     */
+    public CompletableFuture<List<String>> findNamesByPrefix(String prefix, int limit) {
+        return LightBank.instance.getBankAccountTable().findNamesByPrefix(prefix, limit);
+    }
+
+    /**
+     * Get the item vault of a player. This does not load any page,
+     * pages are loaded from the database when they are requested.
+     * @param uuid The uuid of the vault owner.
+     * @return The vault of the player.
+     */
+    public VaultData getVault(UUID uuid) {
+        return vaults.computeIfAbsent(uuid, VaultData::new);
+    }
+
+    /**
+     * Removes the vault of a player from the cache.
+     * Unsaved pages are still written by the vault transaction queue.
+     * @param uuid The uuid of the vault owner.
+     */
+    public void unloadVault(UUID uuid) {
+        vaults.remove(uuid);
+    }
+
 }
@@ -6,6 +6,7 @@ import io.lightstudios.bank.synchronisation.TransactionBank;
 import io.lightstudios.core.LightCore;
 import io.lightstudios.core.util.LightNumbers;
 import io.lightstudios.core.util.libs.jedis.Jedis;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -20,13 +21,22 @@ public class BankData {
     private final UUID uuid;
     private String name;
     private BankLevel bankLevel;
-    private BigDecimal currentCoins;
+    // changed while holding the lock of this account, so balance changes
+    // (including their database write) and the reconciliation repair are atomic
+    @Setter(AccessLevel.NONE)
+    private volatile BigDecimal currentCoins;
     private String currencySingular;
     private String currencyPlural;
 
-    private static final String REDIS_CHANNEL = "bankAccountUpdates";
+    public static final String REDIS_CHANNEL = "bankAccountUpdates";
     private static final TransactionBank transactionManager = new TransactionBank();
 
+    static {
+        // started once for all accounts, not for every created BankData
+        transactionManager.setDelay(500);
+        transactionManager.setPeriod(500);
+        transactionManager.startTransactions();
+    }
 
     public BankData(UUID uuid) {
         this.uuid = uuid;
@@ -34,10 +44,26 @@ public class BankData {
         this.currentCoins = new BigDecimal(0);
         this.currencySingular = "Coin";
         this.currencyPlural = "Coins";
+    }
 
-        transactionManager.setDelay(500);
-        transactionManager.setPeriod(500);
-        transactionManager.startTransactions();
+    public synchronized void setCurrentCoins(BigDecimal currentCoins) {
+        this.currentCoins = currentCoins;
+    }
+
+    /**
+     * Sets the coins only if they were not changed since they were read.
+     * Used to repair cached balances without overwriting newer changes.
+     * Every change assigns a new BigDecimal, so the coins are compared by reference.
+     * @param expected The coins that were read before.
+     * @param coins The new coins.
+     * @return true if the coins were set.
+     */
+    public synchronized boolean compareAndSetCoins(BigDecimal expected, BigDecimal coins) {
+        if(this.currentCoins != expected) {
+            return false;
+        }
+        this.currentCoins = coins;
+        return true;
     }
 
     public boolean hasEnough(BigDecimal amount) {
@@ -56,7 +82,7 @@ public class BankData {
      * @param coins The amount of coins to add.
      * @return The response of the transaction.
      */
-    public BankResponse addCoins(BigDecimal coins) {
+    public synchronized BankResponse addCoins(BigDecimal coins) {
         BankResponse defaultResponse = checkDefaults(coins);
         if(!defaultResponse.transactionSuccess()) {
             return defaultResponse;
@@ -86,7 +112,7 @@ public class BankData {
      * @param coins The amount of coins to add.
      * @return The response of the transaction.
      */
-    public BankResponse removeCoins(BigDecimal coins) {
+    public synchronized BankResponse removeCoins(BigDecimal coins) {
 
         BankResponse defaultResponse = checkDefaults(coins);
         if(!defaultResponse.transactionSuccess()) {
@@ -116,7 +142,7 @@ public class BankData {
      * @param coins The amount of coins to set.
      * @return The response of the transaction.
      */
-    public BankResponse setCoins(BigDecimal coins) {
+    public synchronized BankResponse setCoins(BigDecimal coins) {
         BankResponse defaultResponse = checkDefaults(coins);
         if(!defaultResponse.transactionSuccess()) {
             return new BankResponse(coins, this.currentCoins,
@@ -163,6 +189,16 @@ public class BankData {
                 BankResponse.BankResponseType.SUCCESS, "");
     }
 
+    /**
+     * Checks if a balance change of the given account is still waiting
+     * in the transaction queue and is not written to the database yet.
+     * @param uuid The uuid of the account.
+     * @return true if there is an unwritten transaction.
+     */
+    public static boolean hasPendingTransaction(UUID uuid) {
+        return transactionManager.hasPendingTransaction(uuid);
+    }
+
     /**
      * Sends the current coins data to the Redis server and
      * synchronizes the data with the other servers.
@@ -0,0 +1,81 @@
+package io.lightstudios.bank.api.models;
+
+import io.lightstudios.bank.LightBank;
+import io.lightstudios.bank.storage.VaultSerializer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Getter
+public class VaultData {
+
+    private final UUID uuid;
+    // only accessible through getPage, so the range check and unsaved pages are respected
+    @Getter(AccessLevel.NONE)
+    private final Map<Integer, CompletableFuture<VaultPage>> pages = new ConcurrentHashMap<>();
+
+    public VaultData(UUID uuid) {
+        this.uuid = uuid;
+    }
+
+    /**
+     * Get a page of the players vault. The page is loaded from
+     * the database the first time it is requested, unless it has
+     * unsaved changes in the vault transaction queue.
+     * @param page The page number, starting at 0.
+     * @return The loaded page.
+     */
+    public CompletableFuture<VaultPage> getPage(int page) {
+        int maxPages = LightBank.instance.getSettingsConfig().vaultMaxPages();
+        if(page < 0 || page >= maxPages) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Vault page " + page + " is out of range (0 - " + (maxPages - 1) + ")"));
+        }
+
+        CompletableFuture<VaultPage> existing = pages.get(page);
+        if(existing != null) {
+            return existing;
+        }
+
+        CompletableFuture<VaultPage> created = new CompletableFuture<>();
+        existing = pages.putIfAbsent(page, created);
+        if(existing != null) {
+            return existing;
+        }
+
+        loadPage(page).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                // remove failed loads so the next request tries it again
+                pages.remove(page, created);
+                created.completeExceptionally(throwable);
+            } else {
+                created.complete(result);
+            }
+        });
+        return created;
+    }
+
+    public boolean isLoaded(int page) {
+        CompletableFuture<VaultPage> future = pages.get(page);
+        return future != null && future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    private CompletableFuture<VaultPage> loadPage(int page) {
+        // changes of this page may still wait for the vault transaction queue (e.g. after a relog)
+        VaultPage unsaved = LightBank.instance.getTransactionVault().getUnsavedPage(uuid, page);
+        if(unsaved != null) {
+            return CompletableFuture.completedFuture(unsaved);
+        }
+
+        int pageSize = LightBank.instance.getSettingsConfig().vaultPageSize();
+        return LightBank.instance.getVaultDataTable().findVaultPage(uuid, page)
+                .thenApply(data -> new VaultPage(uuid, page,
+                        data == null ? new ItemStack[pageSize] : VaultSerializer.deserialize(data, pageSize)));
+    }
+
+}
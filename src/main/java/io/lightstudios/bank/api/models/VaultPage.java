@@ -0,0 +1,126 @@
+package io.lightstudios.bank.api.models;
+
+import io.lightstudios.bank.LightBank;
+import io.lightstudios.bank.storage.VaultSerializer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.UUID;
+
+@Getter
+public class VaultPage {
+
+    private final UUID owner;
+    private final int page;
+    // only accessible through the synchronized methods, so every change is tracked
+    @Getter(AccessLevel.NONE)
+    private final ItemStack[] contents;
+    @Getter(AccessLevel.NONE)
+    private final BitSet dirtySlots;
+    private long version;
+
+    public VaultPage(UUID owner, int page, ItemStack[] contents) {
+        this.owner = owner;
+        this.page = page;
+        this.contents = contents;
+        this.dirtySlots = new BitSet(contents.length);
+        this.version = 0L;
+    }
+
+    public int getSize() {
+        return contents.length;
+    }
+
+    public synchronized ItemStack getItem(int slot) {
+        ItemStack item = contents[slot];
+        return item == null ? null : item.clone();
+    }
+
+    /**
+     * Sets a single slot of this page and queues the page for writing.
+     * @param slot The slot to change.
+     * @param item The new item or null to clear the slot.
+     */
+    public synchronized void setItem(int slot, ItemStack item) {
+        if(Objects.equals(contents[slot], item)) {
+            return;
+        }
+        contents[slot] = item == null ? null : item.clone();
+        markDirty(slot);
+        LightBank.instance.getTransactionVault().addPage(this);
+    }
+
+    /**
+     * Replaces the page contents (e.g. when the vault inventory is closed).
+     * Only slots that actually changed are marked as dirty.
+     * @param items The new contents of the page.
+     */
+    public synchronized void setContents(ItemStack[] items) {
+        boolean changed = false;
+        for (int slot = 0; slot < contents.length; slot++) {
+            ItemStack item = slot < items.length ? items[slot] : null;
+            if(Objects.equals(contents[slot], item)) {
+                continue;
+            }
+            contents[slot] = item == null ? null : item.clone();
+            markDirty(slot);
+            changed = true;
+        }
+        if(changed) {
+            LightBank.instance.getTransactionVault().addPage(this);
+        }
+    }
+
+    /**
+     * Get a copy of the page contents, e.g. to fill an inventory.
+     * @return The copied contents.
+     */
+    public synchronized ItemStack[] copyContents() {
+        ItemStack[] copy = new ItemStack[contents.length];
+        for (int slot = 0; slot < contents.length; slot++) {
+            ItemStack item = contents[slot];
+            copy[slot] = item == null ? null : item.clone();
+        }
+        return copy;
+    }
+
+    public synchronized boolean isDirty() {
+        return !dirtySlots.isEmpty();
+    }
+
+    /**
+     * Serializes the page if it has unsaved changes.
+     * @return The snapshot to write or null if the page is clean.
+     */
+    public synchronized Snapshot snapshot() {
+        if(dirtySlots.isEmpty()) {
+            return null;
+        }
+        return new Snapshot(owner, page, version, VaultSerializer.serialize(contents));
+    }
+
+    /**
+     * Marks the page as clean after a snapshot was written.
+     * If the page was modified after the snapshot, it stays dirty.
+     * @param snapshot The written snapshot.
+     * @return true if the page is clean now.
+     */
+    public synchronized boolean markClean(Snapshot snapshot) {
+        if(snapshot.version() != version) {
+            return false;
+        }
+        dirtySlots.clear();
+        return true;
+    }
+
+    private void markDirty(int slot) {
+        dirtySlots.set(slot);
+        version++;
+    }
+
+    public record Snapshot(UUID owner, int page, long version, byte[] data) { }
+
+}
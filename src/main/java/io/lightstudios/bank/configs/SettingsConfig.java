@@ -17,4 +17,23 @@ public class SettingsConfig {
     public long syncPeriod() { return config.getLong("multiTransactionSync.period");}
     public boolean enableDebugMultiSync() { return config.getBoolean("multiTransactionSync.enableDebug");}
 
+    public int vaultMaxPages() { return Math.max(1, config.getInt("vault.maxPages", 5));}
+    public int vaultPageSize() {
+        // inventory sizes must be a multiple of 9, between 1 and 6 rows
+        int pageSize = config.getInt("vault.pageSize", 54);
+        return Math.min(54, Math.max(9, pageSize - pageSize % 9));
+    }
+
+    public int nameCacheMaxSize() { return config.getInt("nameCache.maxSize", 1000);}
+    public long nameCacheExpireAfter() { return Math.max(0, config.getLong("nameCache.expireAfter", 300));}
+
+    public boolean enableReconciliation() { return config.getBoolean("reconciliation.enabled", true);}
+    public long reconciliationDelay() { return Math.max(0, config.getLong("reconciliation.delay", 60));}
+    public long reconciliationPeriod() { return Math.max(1, config.getLong("reconciliation.period", 60));}
+    public int reconciliationChunkSize() {
+        // the checksum query binds 3 parameters per account, SQLite allows 999 by default
+        return Math.min(300, Math.max(1, config.getInt("reconciliation.chunkSize", 100)));
+    }
+    public int reconciliationMaxRowsPerRun() { return Math.max(1, config.getInt("reconciliation.maxRowsPerRun", 1000));}
+
 }
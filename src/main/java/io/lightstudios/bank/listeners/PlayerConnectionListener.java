@@ -0,0 +1,49 @@
+package io.lightstudios.bank.listeners;
+
+import io.lightstudios.bank.LightBank;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+public class PlayerConnectionListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+
+        // keep the name cache and the name column up to date (renamed players)
+        LightBank.instance.getNameCache().put(player.getUniqueId(), player.getName());
+        LightBank.instance.getBankAccountTable().updateName(player.getUniqueId(), player.getName());
+
+        // cache the account of online players (checked by the balance reconciliation)
+        LightBank.instance.getBankAccountTable().findBankDataByUUID(player.getUniqueId()).thenAccept(bankData -> {
+            if (bankData == null) {
+                return;
+            }
+            // cache on the main thread, the quit event runs there as well,
+            // so the player can not quit between the online check and the put
+            Bukkit.getScheduler().runTask(LightBank.instance, () -> {
+                if (player.isOnline()) {
+                    // loaded independently of updateName, it may still hold the name before a rename
+                    bankData.setName(player.getName());
+                    LightBank.instance.getLightBankAPI().cacheBankAccount(bankData);
+                }
+            });
+        });
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+
+        LightBank.instance.getLightBankAPI().uncacheBankAccount(player.getUniqueId());
+        // write the vault now, the player may join another server before the next sync run
+        LightBank.instance.getTransactionVault().flushPages(player.getUniqueId());
+        LightBank.instance.getLightBankAPI().unloadVault(player.getUniqueId());
+    }
+
+}
@@ -8,17 +8,22 @@ import org.jetbrains.annotations.NotNull;
 
 import java.math.BigDecimal;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 public class BankDataTable {
 
     private final String tableName = "lightbank_bank";
+    private final String nameIndex = "idx_lightbank_bank_name";
 
     public BankDataTable() {
         LightBank.instance.getConsolePrinter().printInfo("Initializing BankDataTable and creating Table...");
@@ -107,6 +112,180 @@ public class BankDataTable {
         });
     }
 
+    /**
+     * Finds the uuid of a player by name (case-insensitive) using the name index.
+     * @param name The name of the player.
+     * @return The uuid of the player or null if no account with this name exists.
+     */
+    public CompletableFuture<UUID> findUUIDByName(String name) {
+        return CompletableFuture.supplyAsync(() -> {
+            String query = "SELECT uuid FROM " + tableName + " WHERE name = ?" + nameCollation() + " LIMIT 1";
+            try (Connection connection = LightCore.instance.getSqlDatabase().getConnection();
+                 PreparedStatement statement = connection.prepareStatement(query)) {
+                statement.setString(1, name);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return UUID.fromString(resultSet.getString("uuid"));
+                    } else {
+                        return null; // No player found with the given name
+                    }
+                }
+            } catch (Exception e) {
+                LightBank.instance.getConsolePrinter().printError(List.of(
+                        "An error occurred while reading player data from the database!",
+                        "Please check the error logs for more information."
+                ));
+                e.printStackTrace();
+                throw new RuntimeException("An error occurred while reading player data from the database!", e);
+            }
+        });
+    }
+
+    /**
+     * Finds player names starting with the given prefix (case-insensitive), e.g. for tab completion.
+     * @param prefix The prefix of the name.
+     * @param limit The maximum amount of names to return.
+     * @return The matching names sorted alphabetically.
+     */
+    public CompletableFuture<List<String>> findNamesByPrefix(String prefix, int limit) {
+        return CompletableFuture.supplyAsync(() -> {
+            String query = "SELECT name FROM " + tableName + " WHERE name LIKE ? ESCAPE '!'"
+                    + " ORDER BY name" + nameCollation() + " LIMIT ?";
+            String pattern = prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+            try (Connection connection = LightCore.instance.getSqlDatabase().getConnection();
+                 PreparedStatement statement = connection.prepareStatement(query)) {
+                statement.setString(1, pattern);
+                statement.setInt(2, limit);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    List<String> names = new ArrayList<>();
+                    while (resultSet.next()) {
+                        names.add(resultSet.getString("name"));
+                    }
+                    return names;
+                }
+            } catch (Exception e) {
+                LightBank.instance.getConsolePrinter().printError(List.of(
+                        "An error occurred while reading player names from the database!",
+                        "Please check the error logs for more information."
+                ));
+                e.printStackTrace();
+                throw new RuntimeException("An error occurred while reading player names from the database!", e);
+            }
+        });
+    }
+
+    /**
+     * Updates the stored name of a player. Other accounts which still
+     * have the same name (old owner of a renamed name) lose their name,
+     * so name lookups stay unique.
+     * @param uuid The uuid of the player.
+     * @param name The current name of the player.
+     * @return The amount of updated rows.
+     */
+    public CompletableFuture<Integer> updateName(UUID uuid, String name) {
+        return CompletableFuture.supplyAsync(() -> {
+            synchronized (this) {
+                String clearQuery = "UPDATE " + tableName + " SET name = NULL WHERE name = ?" + nameCollation() + " AND uuid <> ?";
+                String updateQuery = "UPDATE " + tableName + " SET name = ? WHERE uuid = ?";
+                try (Connection connection = LightCore.instance.getSqlDatabase().getConnection();
+                     PreparedStatement clearStatement = connection.prepareStatement(clearQuery);
+                     PreparedStatement updateStatement = connection.prepareStatement(updateQuery)) {
+                    clearStatement.setString(1, name);
+                    clearStatement.setString(2, uuid.toString());
+                    clearStatement.executeUpdate();
+
+                    updateStatement.setString(1, name);
+                    updateStatement.setString(2, uuid.toString());
+                    return updateStatement.executeUpdate();
+                } catch (Exception e) {
+                    LightBank.instance.getConsolePrinter().printError(List.of(
+                            "An error occurred while updating the player name in the database!",
+                            "Please check the error logs for more information."
+                    ));
+                    e.printStackTrace();
+                    throw new RuntimeException("An error occurred while updating the player name in the database!", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Calculates a checksum over the balances of the given accounts.
+     * The weighted sum depends on the position of each uuid in the list,
+     * so swapped balances between two accounts are detected as well.
+     * @param uuids The uuids of one chunk, sorted ascending.
+     * @return The checksum of the stored balances.
+     */
+    public CompletableFuture<ChunkChecksum> calculateChecksum(List<UUID> uuids) {
+        return CompletableFuture.supplyAsync(() -> {
+            String placeholders = String.join(", ", Collections.nCopies(uuids.size(), "?"));
+            String weights = String.join(" ", Collections.nCopies(uuids.size(), "WHEN ? THEN ?"));
+            String query = "SELECT COUNT(*) AS amount, SUM(COALESCE(coins, 0)) AS total, "
+                    + "SUM(CASE uuid " + weights + " ELSE 0 END * COALESCE(coins, 0)) AS weighted "
+                    + "FROM " + tableName + " WHERE uuid IN (" + placeholders + ")";
+            try (Connection connection = LightCore.instance.getSqlDatabase().getConnection();
+                 PreparedStatement statement = connection.prepareStatement(query)) {
+                int index = 1;
+                for (int i = 0; i < uuids.size(); i++) {
+                    statement.setString(index++, uuids.get(i).toString());
+                    statement.setInt(index++, i + 1);
+                }
+                for (UUID uuid : uuids) {
+                    statement.setString(index++, uuid.toString());
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    BigDecimal total = resultSet.getBigDecimal("total");
+                    BigDecimal weighted = resultSet.getBigDecimal("weighted");
+                    return new ChunkChecksum(resultSet.getInt("amount"),
+                            total == null ? BigDecimal.ZERO : total,
+                            weighted == null ? BigDecimal.ZERO : weighted);
+                }
+            } catch (Exception e) {
+                LightBank.instance.getConsolePrinter().printError(List.of(
+                        "An error occurred while calculating bank checksums in the database!",
+                        "Please check the error logs for more information."
+                ));
+                e.printStackTrace();
+                throw new RuntimeException("An error occurred while calculating bank checksums in the database!", e);
+            }
+        });
+    }
+
+    /**
+     * Reads the stored balances of the given accounts.
+     * @param uuids The uuids of the accounts.
+     * @return The stored balances by uuid. Missing accounts are not contained.
+     */
+    public CompletableFuture<Map<UUID, BigDecimal>> findCoinsByUUIDs(List<UUID> uuids) {
+        return CompletableFuture.supplyAsync(() -> {
+            String placeholders = String.join(", ", Collections.nCopies(uuids.size(), "?"));
+            String query = "SELECT uuid, coins FROM " + tableName + " WHERE uuid IN (" + placeholders + ")";
+            try (Connection connection = LightCore.instance.getSqlDatabase().getConnection();
+                 PreparedStatement statement = connection.prepareStatement(query)) {
+                for (int i = 0; i < uuids.size(); i++) {
+                    statement.setString(i + 1, uuids.get(i).toString());
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    Map<UUID, BigDecimal> coins = new HashMap<>();
+                    while (resultSet.next()) {
+                        BigDecimal amount = resultSet.getBigDecimal("coins");
+                        coins.put(UUID.fromString(resultSet.getString("uuid")),
+                                amount == null ? BigDecimal.ZERO : amount);
+                    }
+                    return coins;
+                }
+            } catch (Exception e) {
+                LightBank.instance.getConsolePrinter().printError(List.of(
+                        "An error occurred while reading bank data from the database!",
+                        "Please check the error logs for more information."
+                ));
+                e.printStackTrace();
+                throw new RuntimeException("An error occurred while reading bank data from the database!", e);
+            }
+        });
+    }
+
     public CompletableFuture<Integer> writeBankData(BankData bankAccount) {
         return CompletableFuture.supplyAsync(() -> {
             synchronized (this) {
@@ -114,7 +293,7 @@ public class BankDataTable {
                 if (LightCore.instance.getSqlDatabase().getDatabaseType().equals(DatabaseTypes.SQLITE)) {
                     query = "INSERT OR REPLACE INTO " + tableName + " (uuid, name, coins, level) VALUES (?, ?, ?, ?)";
                 } else {
-                    query = "INSERT INTO " + tableName + " (uuid, name, coins, level) VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE coins = VALUES(coins)";
+                    query = "INSERT INTO " + tableName + " (uuid, name, coins, level) VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE name = VALUES(name), coins = VALUES(coins)";
                 }
                 try (Connection connection = LightCore.instance.getSqlDatabase().getConnection();
                      PreparedStatement statement = connection.prepareStatement(query)) {
@@ -166,6 +345,7 @@ public class BankDataTable {
                         ));
                         return false;
                     }
+                    LightBank.instance.getNameCache().remove(uuid);
                     return true;
                 } catch (SQLException e) {
                     LightBank.instance.getConsolePrinter().printError(List.of(
@@ -196,9 +376,46 @@ public class BankDataTable {
                 ));
                 e.printStackTrace();
             }
+            createNameIndex();
         }
     }
 
+    private void createNameIndex() {
+        String query = "CREATE INDEX " + nameIndex + " ON " + tableName + " (name" + nameCollation() + ")";
+        try (Connection connection = LightCore.instance.getSqlDatabase().getConnection()) {
+            // MySQL does not support CREATE INDEX IF NOT EXISTS
+            // only search the plugin database, a null catalog may search all databases on MySQL
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, tableName, false, false)) {
+                while (indexes.next()) {
+                    if (nameIndex.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                        return;
+                    }
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                statement.executeUpdate();
+                LightBank.instance.getConsolePrinter().printInfo("Name index created successfully!");
+            }
+        } catch (SQLException e) {
+            LightBank.instance.getConsolePrinter().printError(List.of(
+                    "An error occurred while creating the name index!",
+                    "Please check the error logs for more information.",
+                    "Query: " + query
+            ));
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * MySQL compares names case-insensitive by default (ci collation),
+     * SQLite needs the NOCASE collation for the index and the queries.
+     */
+    private @NotNull String nameCollation() {
+        return LightCore.instance.getSqlDatabase().getDatabaseType().equals(DatabaseTypes.SQLITE)
+                ? " COLLATE NOCASE" : "";
+    }
+
     private @NotNull String createCoinsTable() {
 
         return "CREATE TABLE IF NOT EXISTS " + tableName + " ("
@@ -209,4 +426,6 @@ public class BankDataTable {
                 + "PRIMARY KEY (uuid))";
     }
 
+    public record ChunkChecksum(int amount, BigDecimal total, BigDecimal weighted) { }
+
 }
@@ -0,0 +1,84 @@
+package io.lightstudios.bank.storage;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bounded in-memory name to uuid cache. Names are stored case-insensitive,
+ * the least recently used entry is dropped when the cache is full.
+ * Entries expire after a fixed time, so names taken over by another
+ * player on a different server are looked up again.
+ */
+public class NameCache {
+
+    private final int maxSize;
+    private final long expireAfterMillis;
+    private final LinkedHashMap<String, Entry> uuidsByName;
+    private final Map<UUID, String> namesByUUID = new HashMap<>();
+
+    public NameCache(int maxSize, long expireAfterMillis) {
+        this.maxSize = Math.max(1, maxSize);
+        this.expireAfterMillis = Math.max(0, expireAfterMillis);
+        this.uuidsByName = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > NameCache.this.maxSize) {
+                    namesByUUID.remove(eldest.getValue().uuid(), eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized UUID getUUID(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        Entry entry = uuidsByName.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.cachedAt() > expireAfterMillis) {
+            uuidsByName.remove(key);
+            namesByUUID.remove(entry.uuid(), key);
+            return null;
+        }
+        return entry.uuid();
+    }
+
+    /**
+     * Adds or updates the name of a player. The old name of the player
+     * and old owners of the same name are removed from the cache.
+     * @param uuid The uuid of the player.
+     * @param name The current name of the player.
+     */
+    public synchronized void put(UUID uuid, String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+
+        String oldName = namesByUUID.put(uuid, key);
+        if (oldName != null && !oldName.equals(key)) {
+            uuidsByName.remove(oldName);
+        }
+
+        Entry oldOwner = uuidsByName.put(key, new Entry(uuid, System.currentTimeMillis()));
+        if (oldOwner != null && !oldOwner.uuid().equals(uuid)) {
+            namesByUUID.remove(oldOwner.uuid());
+        }
+    }
+
+    public synchronized void remove(UUID uuid) {
+        String name = namesByUUID.remove(uuid);
+        if (name != null) {
+            uuidsByName.remove(name);
+        }
+    }
+
+    public synchronized int size() {
+        return uuidsByName.size();
+    }
+
+    private record Entry(UUID uuid, long cachedAt) { }
+
+}
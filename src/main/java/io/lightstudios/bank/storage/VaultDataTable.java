@@ -0,0 +1,124 @@
+package io.lightstudios.bank.storage;
+
+import io.lightstudios.bank.LightBank;
+import io.lightstudios.bank.api.models.VaultPage;
+import io.lightstudios.core.LightCore;
+import io.lightstudios.core.database.model.DatabaseTypes;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public class VaultDataTable {
+
+    private final String tableName = "lightbank_vault";
+
+    public VaultDataTable() {
+        LightBank.instance.getConsolePrinter().printInfo("Initializing VaultDataTable and creating Table...");
+        createTable();
+    }
+
+    /**
+     * Reads the serialized contents of a single vault page.
+     * @param id The uuid of the vault owner.
+     * @param page The page number.
+     * @return The compressed page data or null if the page was never written.
+     */
+    public CompletableFuture<byte[]> findVaultPage(UUID id, int page) {
+        return CompletableFuture.supplyAsync(() -> {
+            String query = "SELECT contents FROM " + tableName + " WHERE uuid = ? AND page = ?";
+            try (Connection connection = LightCore.instance.getSqlDatabase().getConnection();
+                 PreparedStatement statement = connection.prepareStatement(query)) {
+                statement.setString(1, id.toString());
+                statement.setInt(2, page);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return resultSet.getBytes("contents");
+                    } else {
+                        return null; // Page was never written
+                    }
+                }
+            } catch (Exception e) {
+                LightBank.instance.getConsolePrinter().printError(List.of(
+                        "An error occurred while reading vault data from the database!",
+                        "Please check the error logs for more information."
+                ));
+                e.printStackTrace();
+                throw new RuntimeException("An error occurred while reading vault data from the database!", e);
+            }
+        });
+    }
+
+    /**
+     * Writes the given page snapshots in one batch.
+     * @param snapshots The serialized pages to write.
+     * @return The amount of written pages.
+     */
+    public CompletableFuture<Integer> writeVaultPages(List<VaultPage.Snapshot> snapshots) {
+        return CompletableFuture.supplyAsync(() -> {
+            synchronized (this) {
+                String query;
+                if (LightCore.instance.getSqlDatabase().getDatabaseType().equals(DatabaseTypes.SQLITE)) {
+                    query = "INSERT OR REPLACE INTO " + tableName + " (uuid, page, contents) VALUES (?, ?, ?)";
+                } else {
+                    query = "INSERT INTO " + tableName + " (uuid, page, contents) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE contents = VALUES(contents)";
+                }
+                try (Connection connection = LightCore.instance.getSqlDatabase().getConnection();
+                     PreparedStatement statement = connection.prepareStatement(query)) {
+                    for (VaultPage.Snapshot snapshot : snapshots) {
+                        statement.setString(1, snapshot.owner().toString());
+                        statement.setInt(2, snapshot.page());
+                        statement.setBytes(3, snapshot.data());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    return snapshots.size();
+                } catch (Exception e) {
+                    LightBank.instance.getConsolePrinter().printError(List.of(
+                            "An error occurred while writing vault data to the database!",
+                            "Please check the error logs for more information."
+                    ));
+                    e.printStackTrace();
+                    throw new RuntimeException("An error occurred while writing vault data to the database!", e);
+                }
+            }
+        });
+    }
+
+    public void createTable() {
+        synchronized (this) {
+            String query = createVaultTable();
+            LightBank.instance.getConsolePrinter().printInfo("Creating vault table...");
+            try (Connection connection = LightCore.instance.getSqlDatabase().getConnection();
+                 PreparedStatement statement = connection.prepareStatement(query)) {
+                statement.executeUpdate();
+                LightBank.instance.getConsolePrinter().printInfo("Vault table created successfully!");
+            } catch (SQLException e) {
+                LightBank.instance.getConsolePrinter().printError(List.of(
+                        "An error occurred while creating the vault table!",
+                        "Please check the error logs for more information.",
+                        "Query: " + query
+                ));
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private @NotNull String createVaultTable() {
+
+        String blobType = LightCore.instance.getSqlDatabase().getDatabaseType().equals(DatabaseTypes.SQLITE)
+                ? "BLOB" : "MEDIUMBLOB";
+
+        return "CREATE TABLE IF NOT EXISTS " + tableName + " ("
+                + "uuid VARCHAR(36) NOT NULL, "
+                + "page INT NOT NULL, "
+                + "contents " + blobType + ", "
+                + "PRIMARY KEY (uuid, page))";
+    }
+
+}
@@ -0,0 +1,92 @@
+package io.lightstudios.bank.storage;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact binary format for a single vault page.
+ * Only occupied slots are written (slot index + serialized item),
+ * the whole page is deflate compressed afterward.
+ */
+public final class VaultSerializer {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private VaultSerializer() { }
+
+    public static byte[] serialize(ItemStack[] contents) {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(
+                new DeflaterOutputStream(byteStream, new Deflater(Deflater.BEST_SPEED)))) {
+
+            int occupied = 0;
+            for (ItemStack item : contents) {
+                if (item != null && !item.isEmpty()) {
+                    occupied++;
+                }
+            }
+
+            out.writeByte(FORMAT_VERSION);
+            out.writeShort(contents.length);
+            out.writeShort(occupied);
+
+            for (int slot = 0; slot < contents.length; slot++) {
+                ItemStack item = contents[slot];
+                if (item == null || item.isEmpty()) {
+                    continue;
+                }
+                byte[] itemData = item.serializeAsBytes();
+                out.writeShort(slot);
+                out.writeInt(itemData.length);
+                out.write(itemData);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize vault page", e);
+        }
+        return byteStream.toByteArray();
+    }
+
+    /**
+     * Reads a serialized vault page.
+     * @param data The compressed page data.
+     * @param size The current page size. If the page was stored with a bigger size,
+     *             the stored size is kept, so no items get lost.
+     * @return The page contents.
+     */
+    public static ItemStack[] deserialize(byte[] data, int size) {
+        try (DataInputStream in = new DataInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(data)))) {
+
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Unknown vault page format version: " + version);
+            }
+
+            int storedSize = in.readUnsignedShort();
+            int occupied = in.readUnsignedShort();
+            ItemStack[] contents = new ItemStack[Math.max(size, storedSize)];
+
+            for (int i = 0; i < occupied; i++) {
+                int slot = in.readUnsignedShort();
+                byte[] itemData = new byte[in.readInt()];
+                in.readFully(itemData);
+                if (slot >= contents.length) {
+                    throw new IllegalStateException("Vault page contains slot " + slot + " outside of its size " + storedSize);
+                }
+                contents[slot] = ItemStack.deserializeBytes(itemData);
+            }
+            return contents;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not deserialize vault page", e);
+        }
+    }
+
+}
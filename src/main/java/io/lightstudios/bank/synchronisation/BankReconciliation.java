@@ -0,0 +1,179 @@
+package io.lightstudios.bank.synchronisation;
+
+import io.lightstudios.bank.LightBank;
+import io.lightstudios.bank.api.models.BankData;
+import io.lightstudios.bank.storage.BankDataTable;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job which detects balances in the cache that drifted away
+ * from the database (e.g. lost or reordered writes on multi server setups).
+ * The cached accounts are split into chunks of consecutive uuids. Only chunks
+ * with a different checksum are read from the database and repaired.
+ */
+@Getter
+@Setter
+public class BankReconciliation {
+
+    private int poolSize = 1;
+    private long period = 60L; // seconds, start value, if not set in the config
+    private long delay = 60L; // seconds, start value, if not set in the config
+    private int chunkSize = 100;
+    private int maxRowsPerRun = 1000;
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(poolSize);
+    // the last reconciled uuid, the next run continues after it
+    private String cursor = null;
+
+    public void startReconciliation() {
+        scheduler.scheduleAtFixedRate(this::reconcile, delay, period, TimeUnit.SECONDS);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private synchronized void reconcile() {
+        try {
+            runReconciliation();
+        } catch (Exception e) {
+            // never let an exception cancel the scheduled task
+            LightBank.instance.getConsolePrinter().printError("Failed to reconcile cached bank balances.");
+            e.printStackTrace();
+        }
+    }
+
+    private void runReconciliation() {
+        // uuids are compared as strings, the same order the database uses for the uuid column
+        NavigableMap<String, BankData> accounts = new TreeMap<>();
+        for (BankData bankData : LightBank.instance.getLightBankAPI().getBankAccounts().values()) {
+            accounts.put(bankData.getUuid().toString(), bankData);
+        }
+        if (accounts.isEmpty()) {
+            cursor = null;
+            return;
+        }
+
+        NavigableMap<String, BankData> remaining = cursor == null ? accounts : accounts.tailMap(cursor, false);
+        if (remaining.isEmpty()) {
+            remaining = accounts;
+        }
+
+        int budget = maxRowsPerRun;
+        int checkedChunks = 0;
+        int mismatchedChunks = 0;
+        List<String> repaired = new ArrayList<>();
+
+        while (budget > 0 && !remaining.isEmpty()) {
+            List<BankData> chunk = new ArrayList<>();
+            for (BankData bankData : remaining.values()) {
+                if (chunk.size() >= Math.min(chunkSize, budget)) {
+                    break;
+                }
+                chunk.add(bankData);
+            }
+
+            String lastUUID = chunk.getLast().getUuid().toString();
+            remaining = remaining.tailMap(lastUUID, false);
+            cursor = remaining.isEmpty() ? null : lastUUID;
+
+            // read under the account lock, so a running balance change incl. its database write is finished.
+            // accounts with unwritten transactions are not a drift and are checked again in the next run
+            List<BankData> checked = new ArrayList<>();
+            List<BigDecimal> expected = new ArrayList<>();
+            for (BankData bankData : chunk) {
+                synchronized (bankData) {
+                    if (!BankData.hasPendingTransaction(bankData.getUuid())) {
+                        checked.add(bankData);
+                        expected.add(bankData.getCurrentCoins());
+                    }
+                }
+            }
+            if (checked.isEmpty()) {
+                continue;
+            }
+
+            List<UUID> uuids = checked.stream().map(BankData::getUuid).toList();
+            BankDataTable.ChunkChecksum stored = LightBank.instance.getBankAccountTable().calculateChecksum(uuids).join();
+            budget -= checked.size();
+            checkedChunks++;
+
+            if (matches(stored, expected)) {
+                continue;
+            }
+
+            mismatchedChunks++;
+            // the re-fetch of a mismatched chunk may exceed the budget of this run by one chunk
+            Map<UUID, BigDecimal> storedCoins = LightBank.instance.getBankAccountTable().findCoinsByUUIDs(uuids).join();
+            budget -= checked.size();
+
+            for (int i = 0; i < checked.size(); i++) {
+                BankData bankData = checked.get(i);
+                BigDecimal coins = storedCoins.get(bankData.getUuid());
+                // missing accounts are not a drift
+                if (coins == null) {
+                    continue;
+                }
+                BigDecimal cached = expected.get(i);
+                // skip accounts changed since the checksum, they are checked again in the next run
+                if (scale(cached).compareTo(scale(coins)) != 0 && bankData.compareAndSetCoins(cached, coins)) {
+                    repaired.add(bankData.getUuid() + " (" + bankData.getName() + "): "
+                            + scale(cached) + " -> " + scale(coins));
+                }
+            }
+        }
+
+        if (!repaired.isEmpty()) {
+            LightBank.instance.getConsolePrinter().printInfo(
+                    "Repaired " + repaired.size() + " cached bank balances that differed from the database:");
+            repaired.forEach(line -> LightBank.instance.getConsolePrinter().printInfo(" - " + line));
+        }
+
+        if (LightBank.instance.getSettingsConfig().enableDebugMultiSync()) {
+            LightBank.instance.getConsolePrinter().printInfo(
+                    "Reconciled " + checkedChunks + " chunks (" + mismatchedChunks + " mismatched, "
+                            + repaired.size() + " repaired), used " + (maxRowsPerRun - budget)
+                            + "/" + maxRowsPerRun + " rows.");
+        }
+    }
+
+    /**
+     * Calculates the checksum of the cached coins in the same way as
+     * {@link BankDataTable#calculateChecksum(List)} and compares both.
+     */
+    private boolean matches(BankDataTable.ChunkChecksum stored, List<BigDecimal> cachedCoins) {
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal weighted = BigDecimal.ZERO;
+        for (int i = 0; i < cachedCoins.size(); i++) {
+            BigDecimal coins = cachedCoins.get(i);
+            if (coins == null) {
+                coins = BigDecimal.ZERO;
+            }
+            total = total.add(coins);
+            weighted = weighted.add(coins.multiply(BigDecimal.valueOf(i + 1)));
+        }
+
+        return stored.amount() == cachedCoins.size()
+                && scale(stored.total()).compareTo(scale(total)) == 0
+                && scale(stored.weighted()).compareTo(scale(weighted)) == 0;
+    }
+
+    // the coins column has two decimal places (SQLite may return floating point sums)
+    private BigDecimal scale(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO.setScale(2) : value.setScale(2, RoundingMode.HALF_UP);
+    }
+
+}
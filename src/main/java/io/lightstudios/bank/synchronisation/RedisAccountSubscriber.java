@@ -0,0 +1,60 @@
+package io.lightstudios.bank.synchronisation;
+
+import io.lightstudios.bank.LightBank;
+import io.lightstudios.bank.api.models.BankData;
+import io.lightstudios.core.LightCore;
+import io.lightstudios.core.util.libs.jedis.Jedis;
+import io.lightstudios.core.util.libs.jedis.JedisPubSub;
+
+import java.util.UUID;
+
+/**
+ * Listens to the account updates sent by {@link BankData} from all servers
+ * and keeps the name cache up to date (renamed players on other servers).
+ */
+public class RedisAccountSubscriber extends JedisPubSub {
+
+    private Thread thread;
+
+    public void start() {
+        // subscribe blocks until unsubscribe is called, so it needs its own thread
+        thread = new Thread(() -> {
+            try (Jedis jedis = LightCore.instance.getRedisManager().getJedisPool().getResource()) {
+                jedis.subscribe(this, BankData.REDIS_CHANNEL);
+            } catch (Exception e) {
+                LightBank.instance.getConsolePrinter().printError("Redis account update subscription stopped.");
+                e.printStackTrace();
+            }
+        }, "LightBank-Redis-Subscriber");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void shutdown() {
+        if (isSubscribed()) {
+            unsubscribe();
+        }
+    }
+
+    @Override
+    public void onMessage(String channel, String message) {
+        // uuid:name:coins:level
+        String[] parts = message.split(":", 4);
+        if (parts.length < 2) {
+            return;
+        }
+
+        String name = parts[1];
+        if (name.isEmpty() || name.equals("unknown") || name.equals("null")) {
+            return;
+        }
+
+        try {
+            // replaces the old name of the player and removes other owners of this name
+            LightBank.instance.getNameCache().put(UUID.fromString(parts[0]), name);
+        } catch (IllegalArgumentException e) {
+            LightBank.instance.getConsolePrinter().printError("Received invalid bank account update from Redis: " + message);
+        }
+    }
+
+}
@@ -33,6 +33,15 @@ public class TransactionBank {
         transactionQueue.add(new Transaction(bankData, timestamp));
     }
 
+    public boolean hasPendingTransaction(UUID uuid) {
+        for (Transaction transaction : transactionQueue) {
+            if (transaction.bankData().getUuid().equals(uuid)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private synchronized void processTransactions() {
         if (transactionQueue.isEmpty()) {
             return;
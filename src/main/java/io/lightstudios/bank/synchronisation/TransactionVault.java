@@ -0,0 +1,167 @@
+package io.lightstudios.bank.synchronisation;
+
+import io.lightstudios.bank.LightBank;
+import io.lightstudios.bank.api.models.VaultPage;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Predicate;
+
+@Getter
+@Setter
+public class TransactionVault {
+
+    private int poolSize = 1;
+    private long period = 500L; // start value, if not set in the config
+    private long delay = 500L; // start value, if not set in the config
+
+    // a page is queued only once, no matter how many slots were changed
+    private final Set<VaultPage> pageQueue = ConcurrentHashMap.newKeySet();
+    // queued or currently written pages, until their changes are in the database
+    private final Map<PageKey, VaultPage> unsavedPages = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(poolSize);
+
+    public void startTransactions() {
+        scheduler.scheduleAtFixedRate(this::processTransactions, delay, period, TimeUnit.MILLISECONDS);
+    }
+
+    public void addPage(VaultPage vaultPage) {
+        unsavedPages.put(new PageKey(vaultPage.getOwner(), vaultPage.getPage()), vaultPage);
+        pageQueue.add(vaultPage);
+    }
+
+    /**
+     * Get a page which has changes that are not written to the database yet.
+     * Such a page must be used instead of loading it from the database again.
+     * @param owner The uuid of the vault owner.
+     * @param page The page number.
+     * @return The unsaved page or null if the database is up to date.
+     */
+    public VaultPage getUnsavedPage(UUID owner, int page) {
+        return unsavedPages.get(new PageKey(owner, page));
+    }
+
+    /**
+     * Writes the dirty pages of a single player, e.g. when the player quits,
+     * so another server loads the current contents if the player switches servers.
+     * @param owner The uuid of the vault owner.
+     * @return A future which completes after the write.
+     */
+    public CompletableFuture<Void> flushPages(UUID owner) {
+        return CompletableFuture.runAsync(() -> {
+            synchronized (this) {
+                writeQueuedPages(page -> page.getOwner().equals(owner)).join();
+            }
+        });
+    }
+
+    /**
+     * Stops the scheduler and writes all remaining dirty pages.
+     * Blocks until the write is done (used on plugin shutdown).
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // locked, so a still running scheduled write can not drain the queue at the same time
+        synchronized (this) {
+            writeQueuedPages(page -> true).join();
+            if (!pageQueue.isEmpty()) {
+                List<String> lostPages = new ArrayList<>();
+                lostPages.add("Could not write " + pageQueue.size() + " vault pages on shutdown!");
+                lostPages.add("The following changes are LOST:");
+                for (VaultPage page : pageQueue) {
+                    lostPages.add(" - page " + page.getPage() + " of " + page.getOwner());
+                }
+                LightBank.instance.getConsolePrinter().printError(lostPages);
+            }
+        }
+    }
+
+    private synchronized void processTransactions() {
+        if (pageQueue.isEmpty()) {
+            return;
+        }
+
+        try {
+            writeQueuedPages(page -> true).join();
+        } catch (Exception e) {
+            // never let an exception cancel the scheduled task
+            LightBank.instance.getConsolePrinter().printError("Failed to process vault transactions.");
+            e.printStackTrace();
+        }
+    }
+
+    private CompletableFuture<Void> writeQueuedPages(Predicate<VaultPage> filter) {
+        List<VaultPage> pages = new ArrayList<>();
+        List<VaultPage.Snapshot> snapshots = new ArrayList<>();
+        List<VaultPage> failedPages = new ArrayList<>();
+
+        Iterator<VaultPage> iterator = pageQueue.iterator();
+        while (iterator.hasNext()) {
+            VaultPage page = iterator.next();
+            if (!filter.test(page)) {
+                continue;
+            }
+            iterator.remove();
+            try {
+                VaultPage.Snapshot snapshot = page.snapshot();
+                if (snapshot != null) {
+                    pages.add(page);
+                    snapshots.add(snapshot);
+                }
+            } catch (Exception e) {
+                LightBank.instance.getConsolePrinter().printError(List.of(
+                        "Failed to serialize vault page " + page.getPage() + " of " + page.getOwner() + ".",
+                        "The page will be written again in the next run."));
+                e.printStackTrace();
+                failedPages.add(page);
+            }
+        }
+        pageQueue.addAll(failedPages);
+
+        if (snapshots.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return LightBank.instance.getVaultDataTable().writeVaultPages(snapshots).thenAccept(result -> {
+            for (int i = 0; i < pages.size(); i++) {
+                VaultPage page = pages.get(i);
+                // locked, so the page can not become dirty between markClean and the removal
+                synchronized (page) {
+                    if (page.markClean(snapshots.get(i))) {
+                        unsavedPages.remove(new PageKey(page.getOwner(), page.getPage()), page);
+                    } else {
+                        // page was modified while writing, write it again in the next run
+                        pageQueue.add(page);
+                    }
+                }
+            }
+            if (LightBank.instance.getSettingsConfig().enableDebugMultiSync()) {
+                LightBank.instance.getConsolePrinter().printInfo(
+                        "Processed " + result + " dirty vault pages.");
+            }
+        }).exceptionally(throwable -> {
+            LightBank.instance.getConsolePrinter().printError(List.of(
+                    "Failed to write " + snapshots.size() + " vault pages.",
+                    "The pages will be written again in the next run."));
+            throwable.printStackTrace();
+            pageQueue.addAll(pages);
+            return null;
+        });
+    }
+
+    private record PageKey(UUID owner, int page) { }
+
+}